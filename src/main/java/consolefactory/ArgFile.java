@@ -0,0 +1,210 @@
+package consolefactory;
+
+import consolefactory.exception.ParseException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A read-only queue of tokens of an argument (options) file. The file is memory-mapped and only
+ * the token boundaries are collected up front, a token is decoded when it is taken from the queue.
+ * Tokens are separated by whitespaces, quoted parts of a token may contain whitespaces, a token
+ * starting with '#' outside a structured value comments out the rest of the line.
+ */
+class ArgFile extends AbstractQueue<String> {
+
+  private final Path path;
+  private final ByteBuffer buffer;
+  private final FactoryConfig factoryConfig = FactoryConfig.getInstance();
+  private int[] boundaries = new int[96];
+  private int count;
+  private int depth;
+  private int position;
+  private String head;
+
+  ArgFile(Path path) throws ParseException {
+    this.path = path;
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    } catch (NoSuchFileException e) {
+      throw new ParseException("Argument file not found: " + path);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new ParseException("Can not read argument file " + path + ": " + e.getMessage());
+    }
+    tokenize();
+  }
+
+  @Override
+  public boolean offer(String s) {
+    throw new UnsupportedOperationException("Argument file queue is read-only.");
+  }
+
+  @Override
+  public String poll() {
+    final var token = peek();
+    if (token != null) {
+      position++;
+      head = null;
+    }
+    return token;
+  }
+
+  @Override
+  public String peek() {
+    if (position >= count) {
+      return null;
+    }
+    if (head == null) {
+      head = decode(position);
+    }
+    return head;
+  }
+
+  @Override
+  public int size() {
+    return count - position;
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    return new Iterator<>() {
+      private int index = position;
+
+      @Override
+      public boolean hasNext() {
+        return index < count;
+      }
+
+      @Override
+      public String next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return decode(index++);
+      }
+    };
+  }
+
+  private String decode(int index) {
+    final var token = buffer.duplicate();
+    token.limit(boundaries[3 * index + 1]).position(boundaries[3 * index]);
+    final var decoded = StandardCharsets.UTF_8.decode(token).toString();
+    return boundaries[3 * index + 2] == 0 ? decoded : unescape(decoded);
+  }
+
+  private static String unescape(String token) {
+    final var unescaped = new StringBuilder(token.length());
+    for (int i = 0; i < token.length(); i++) {
+      final char c = token.charAt(i);
+      if (c == '\\' && i + 1 < token.length()
+          && (token.charAt(i + 1) == '"' || token.charAt(i + 1) == '\\')) {
+        unescaped.append(token.charAt(++i));
+      } else {
+        unescaped.append(c);
+      }
+    }
+    return unescaped.toString();
+  }
+
+  private void tokenize() throws ParseException {
+    final int length = buffer.limit();
+    int i = 0;
+    while (i < length) {
+      final byte b = buffer.get(i);
+      if (isWhitespace(b)) {
+        i++;
+      } else if (b == '#' && depth == 0) {
+        while (i < length && buffer.get(i) != '\n') {
+          i++;
+        }
+      } else {
+        i = scanToken(i, length);
+      }
+    }
+  }
+
+  /**
+   * Scan a token from the start position. Double quoted parts (with backslash escapes) keep their
+   * whitespaces, a single quoted part does so at the start of a token only, so apostrophes in
+   * words stay literal. A token starting with an opening symbol starts a structured value, which
+   * continues up to the matching closing symbol and is kept as is. Opening and closing symbols of
+   * other tokens are plain characters. Quotes are dropped only when the whole token is quoted and
+   * is not a part of a structured value.
+   *
+   * @return position after the token.
+   */
+  private int scanToken(int start, int length) throws ParseException {
+    final int tokenDepth = depth;
+    final byte first = buffer.get(start);
+    final boolean structured = depth > 0
+        || first != '"' && factoryConfig.getOpeningChars().contains((char) first);
+    int i = start;
+    int firstQuotedPartEnd = -1;
+    boolean escaped = false;
+    if (buffer.get(start) == '\'') {
+      i++;
+      while (i < length && buffer.get(i) != '\'') {
+        i++;
+      }
+      i = closeQuote(i, length);
+      firstQuotedPartEnd = i;
+    }
+    while (i < length && !isWhitespace(buffer.get(i))) {
+      final byte b = buffer.get(i++);
+      if (b == '"') {
+        while (i < length && buffer.get(i) != '"') {
+          if (buffer.get(i) == '\\') {
+            escaped = true;
+            i++;
+          }
+          i++;
+        }
+        i = closeQuote(i, length);
+        if (firstQuotedPartEnd < 0) {
+          firstQuotedPartEnd = i;
+        }
+      } else if (structured && factoryConfig.getOpeningChars().contains((char) b)) {
+        depth++;
+      } else if (structured && depth > 0 && factoryConfig.getClosingChars().contains((char) b)) {
+        depth--;
+      }
+    }
+    if (tokenDepth == 0 && depth == 0 && (first == '"' || first == '\'')
+        && firstQuotedPartEnd == i) {
+      addToken(start + 1, i - 1, first == '"' && escaped);
+    } else {
+      addToken(start, i, false);
+    }
+    return i;
+  }
+
+  private int closeQuote(int i, int length) throws ParseException {
+    if (i >= length) {
+      throw new ParseException("Unclosed quote in argument file " + path);
+    }
+    return i + 1;
+  }
+
+  private void addToken(int start, int end, boolean escaped) {
+    if (3 * count + 2 >= boundaries.length) {
+      boundaries = Arrays.copyOf(boundaries, boundaries.length * 2);
+    }
+    boundaries[3 * count] = start;
+    boundaries[3 * count + 1] = end;
+    boundaries[3 * count + 2] = escaped ? 1 : 0;
+    count++;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f';
+  }
+}
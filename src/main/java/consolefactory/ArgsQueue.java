@@ -0,0 +1,116 @@
+package consolefactory;
+
+import consolefactory.exception.ParseException;
+import java.nio.file.Path;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * A read-only queue view over pre-split arguments (e.g. {@code main(String[] args)}). Tokens are
+ * consumed by moving a cursor, so the array is neither copied nor re-tokenized. An argument
+ * {@code @file} is replaced in place by the tokens of the file (see {@link ArgFile}), an argument
+ * starting with {@code @@} is taken literally without the first {@code @}.
+ */
+class ArgsQueue extends AbstractQueue<String> {
+
+  private static final char ARG_FILE_PREFIX = '@';
+  private final String[] args;
+  private final ArgFile[] argFiles;
+  private final boolean expandArgFiles;
+  private int position;
+
+  ArgsQueue(String[] args) throws ParseException {
+    this(args, true);
+  }
+
+  /**
+   * Create a queue over the arguments.
+   *
+   * @param args           - arguments
+   * @param expandArgFiles - whether {@code @file} arguments are expanded, otherwise all arguments
+   *                       are taken literally.
+   */
+  ArgsQueue(String[] args, boolean expandArgFiles) throws ParseException {
+    this.args = args;
+    this.argFiles = new ArgFile[args.length];
+    this.expandArgFiles = expandArgFiles;
+    for (int i = 0; i < args.length && expandArgFiles; i++) {
+      if (isArgFile(args[i])) {
+        argFiles[i] = new ArgFile(Path.of(args[i].substring(1)));
+      }
+    }
+  }
+
+  @Override
+  public boolean offer(String s) {
+    throw new UnsupportedOperationException("Arguments queue is read-only.");
+  }
+
+  @Override
+  public String poll() {
+    final var token = peek();
+    if (token != null) {
+      if (argFiles[position] != null) {
+        argFiles[position].poll();
+      } else {
+        position++;
+      }
+    }
+    return token;
+  }
+
+  @Override
+  public String peek() {
+    while (position < args.length) {
+      if (argFiles[position] == null) {
+        return literal(args[position]);
+      }
+      if (!argFiles[position].isEmpty()) {
+        return argFiles[position].peek();
+      }
+      position++;
+    }
+    return null;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return peek() == null;
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (int i = position; i < args.length; i++) {
+      size += argFiles[i] == null ? 1 : argFiles[i].size();
+    }
+    return size;
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    final var tokens = new ArrayList<String>(size());
+    for (int i = position; i < args.length; i++) {
+      if (argFiles[i] == null) {
+        tokens.add(literal(args[i]));
+      } else {
+        argFiles[i].forEach(tokens::add);
+      }
+    }
+    return tokens.iterator();
+  }
+
+  private String literal(String arg) {
+    return expandArgFiles && isEscaped(arg) ? arg.substring(1) : arg;
+  }
+
+  private static boolean isArgFile(String arg) {
+    return arg.length() > 1 && arg.charAt(0) == ARG_FILE_PREFIX && !isEscaped(arg);
+  }
+
+  private static boolean isEscaped(String arg) {
+    return arg.length() > 1 && arg.charAt(0) == ARG_FILE_PREFIX
+        && arg.charAt(1) == ARG_FILE_PREFIX;
+  }
+}
@@ -0,0 +1,307 @@
+package consolefactory;
+
+import consolefactory.exception.OptionException;
+import consolefactory.exception.ParseException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * A validator of option values compiled from {@link Option#getBounds()} once the option is added.
+ * Bounds are interpreted by the option type, a default value of the option must be within them:
+ * <ul>
+ *   <li>integral, floating point and big numbers - {min, max}, null for an open end;</li>
+ *   <li>strings, characters, booleans and enums - a set of allowed values;</li>
+ *   <li>collections, maps and arrays - {min size, max size}, null for an open end.</li>
+ * </ul>
+ */
+abstract class BoundsValidator {
+
+  protected final String optionName;
+
+  private BoundsValidator(String optionName) {
+    this.optionName = optionName;
+  }
+
+  abstract void validate(Object value) throws ParseException;
+
+  /**
+   * Compile bounds of the option into a validator.
+   *
+   * @param option - an option to compile bounds of.
+   * @return a validator or null if the option has no bounds.
+   */
+  static BoundsValidator compile(Option option) throws OptionException {
+    final var bounds = option.getBounds();
+    if (bounds == null || bounds.length == 0) {
+      return null;
+    }
+    final var validator = compile(option, bounds);
+    if (option.hasDefaultValue()) {
+      try {
+        validator.validate(option.getDefaultValue());
+      } catch (ParseException e) {
+        throw new OptionException("Default value is invalid: " + e.getMessage());
+      }
+    }
+    return validator;
+  }
+
+  private static BoundsValidator compile(Option option, Object[] bounds) throws OptionException {
+    final var type = ClassUtils.primitiveToWrapper(ConsoleUtils.getRawClass(option.getType()));
+    if (type == Byte.class || type == Short.class || type == Integer.class
+        || type == Long.class) {
+      return new LongRange(option.getName(), toLongRange(option, toRange(option, bounds)));
+    }
+    if (type == Float.class) {
+      return new FloatRange(option.getName(), toRange(option, bounds));
+    }
+    if (type == BigInteger.class || type == BigDecimal.class) {
+      return new BigRange(option.getName(), toRange(option, bounds));
+    }
+    if (Number.class.isAssignableFrom(type)) {
+      return new DoubleRange(option.getName(), toRange(option, bounds));
+    }
+    if (type.isEnum()) {
+      return new AllowedValues(option.getName(), toEnumConstants(option, type, bounds),
+          Function.identity());
+    }
+    if (type == String.class || type == Character.class || type == Boolean.class) {
+      final var allowed = new HashSet<>();
+      for (final var bound : bounds) {
+        allowed.add(String.valueOf(bound));
+      }
+      return new AllowedValues(option.getName(), allowed, String::valueOf);
+    }
+    if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+        || type.isArray()) {
+      return new SizeRange(option.getName(), toLongRange(option, toRange(option, bounds)));
+    }
+    throw new OptionException(
+        "Bounds are not supported for type " + option.getType().getType().getTypeName()
+            + " of option " + option.getName());
+  }
+
+  private static BigDecimal[] toRange(Option option, Object[] bounds) throws OptionException {
+    if (bounds.length > 2
+        || Arrays.stream(bounds).anyMatch(b -> b != null && !(b instanceof Number))) {
+      throw new OptionException(
+          "Bounds of option " + option.getName() + " must be {min, max} numbers or nulls.");
+    }
+    final var range = new BigDecimal[2];
+    for (int i = 0; i < bounds.length; i++) {
+      if (bounds[i] == null) {
+        continue;
+      }
+      try {
+        range[i] = toBigDecimal((Number) bounds[i]);
+      } catch (NumberFormatException e) {
+        throw new OptionException(
+            "Bound " + bounds[i] + " of option " + option.getName() + " is not a finite number.");
+      }
+    }
+    if (range[0] != null && range[1] != null && range[0].compareTo(range[1]) > 0) {
+      throw new OptionException(
+          "Min bound is greater than max bound of option " + option.getName());
+    }
+    return range;
+  }
+
+  private static long[] toLongRange(Option option, BigDecimal[] range) throws OptionException {
+    try {
+      return new long[]{
+          range[0] == null ? Long.MIN_VALUE : range[0].longValueExact(),
+          range[1] == null ? Long.MAX_VALUE : range[1].longValueExact()};
+    } catch (ArithmeticException e) {
+      throw new OptionException(
+          "Bounds of option " + option.getName() + " must be integral and fit into long.");
+    }
+  }
+
+  private static BigDecimal toBigDecimal(Number number) {
+    if (number instanceof BigDecimal) {
+      return (BigDecimal) number;
+    }
+    if (number instanceof BigInteger) {
+      return new BigDecimal((BigInteger) number);
+    }
+    if (number instanceof Byte || number instanceof Short || number instanceof Integer
+        || number instanceof Long) {
+      return BigDecimal.valueOf(number.longValue());
+    }
+    if (number instanceof Float) {
+      return new BigDecimal(number.toString());
+    }
+    return BigDecimal.valueOf(number.doubleValue());
+  }
+
+  protected Number toNumber(Object value) throws ParseException {
+    if (!(value instanceof Number)) {
+      throw new ParseException(
+          "Value " + value + " of option " + optionName + " is not a number to check bounds.");
+    }
+    return (Number) value;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Set<Object> toEnumConstants(Option option, Class<?> type, Object[] bounds)
+      throws OptionException {
+    final var allowed = new HashSet<>();
+    for (final var bound : bounds) {
+      if (type.isInstance(bound)) {
+        allowed.add(bound);
+        continue;
+      }
+      try {
+        allowed.add(Enum.valueOf((Class<? extends Enum>) type, String.valueOf(bound)));
+      } catch (IllegalArgumentException e) {
+        throw new OptionException(
+            "Bound " + bound + " is not a constant of " + type.getSimpleName() + " of option "
+                + option.getName());
+      }
+    }
+    return allowed;
+  }
+
+  private static final class LongRange extends BoundsValidator {
+
+    private final long min;
+    private final long max;
+
+    private LongRange(String optionName, long[] range) {
+      super(optionName);
+      min = range[0];
+      max = range[1];
+    }
+
+    @Override
+    void validate(Object value) throws ParseException {
+      final long number = toNumber(value).longValue();
+      if (number < min || number > max) {
+        throw new ParseException("Value " + number + " of option " + optionName
+            + " is out of bounds [" + min + ", " + max + "].");
+      }
+    }
+  }
+
+  private static final class FloatRange extends BoundsValidator {
+
+    private final float min;
+    private final float max;
+
+    private FloatRange(String optionName, BigDecimal[] range) {
+      super(optionName);
+      min = range[0] == null ? Float.NEGATIVE_INFINITY : range[0].floatValue();
+      max = range[1] == null ? Float.POSITIVE_INFINITY : range[1].floatValue();
+    }
+
+    @Override
+    void validate(Object value) throws ParseException {
+      final float number = toNumber(value).floatValue();
+      if (!(number >= min && number <= max)) {
+        throw new ParseException("Value " + number + " of option " + optionName
+            + " is out of bounds [" + min + ", " + max + "].");
+      }
+    }
+  }
+
+  private static final class DoubleRange extends BoundsValidator {
+
+    private final double min;
+    private final double max;
+
+    private DoubleRange(String optionName, BigDecimal[] range) {
+      super(optionName);
+      min = range[0] == null ? Double.NEGATIVE_INFINITY : range[0].doubleValue();
+      max = range[1] == null ? Double.POSITIVE_INFINITY : range[1].doubleValue();
+    }
+
+    @Override
+    void validate(Object value) throws ParseException {
+      final double number = toNumber(value).doubleValue();
+      if (!(number >= min && number <= max)) {
+        throw new ParseException("Value " + number + " of option " + optionName
+            + " is out of bounds [" + min + ", " + max + "].");
+      }
+    }
+  }
+
+  private static final class BigRange extends BoundsValidator {
+
+    private final BigDecimal min;
+    private final BigDecimal max;
+
+    private BigRange(String optionName, BigDecimal[] range) {
+      super(optionName);
+      min = range[0];
+      max = range[1];
+    }
+
+    @Override
+    void validate(Object value) throws ParseException {
+      final var number = toBigDecimal(toNumber(value));
+      if (min != null && number.compareTo(min) < 0 || max != null && number.compareTo(max) > 0) {
+        throw new ParseException("Value " + value + " of option " + optionName
+            + " is out of bounds [" + min + ", " + max + "].");
+      }
+    }
+  }
+
+  private static final class SizeRange extends BoundsValidator {
+
+    private final long min;
+    private final long max;
+
+    private SizeRange(String optionName, long[] range) {
+      super(optionName);
+      min = Math.max(0, range[0]);
+      max = range[1];
+    }
+
+    @Override
+    void validate(Object value) throws ParseException {
+      final int size;
+      if (value instanceof Collection) {
+        size = ((Collection<?>) value).size();
+      } else if (value instanceof Map) {
+        size = ((Map<?, ?>) value).size();
+      } else if (value.getClass().isArray()) {
+        size = Array.getLength(value);
+      } else {
+        throw new ParseException("Value " + value + " of option " + optionName
+            + " is not a collection, map or array to check bounds.");
+      }
+      if (size < min || size > max) {
+        throw new ParseException("Size " + size + " of option " + optionName
+            + " is out of bounds [" + min + ", " + max + "].");
+      }
+    }
+  }
+
+  private static final class AllowedValues extends BoundsValidator {
+
+    private final Set<Object> allowed;
+    private final Function<Object, Object> key;
+
+    private AllowedValues(String optionName, Set<Object> allowed, Function<Object, Object> key) {
+      super(optionName);
+      this.allowed = allowed;
+      this.key = key;
+    }
+
+    @Override
+    void validate(Object value) throws ParseException {
+      if (!allowed.contains(key.apply(value))) {
+        throw new ParseException("Value " + value + " of option " + optionName
+            + " is not one of allowed values " + allowed + ".");
+      }
+    }
+  }
+}
@@ -5,6 +5,7 @@ import static consolefactory.FactoryConfig.HELP_OPTION_NAME;
 import com.fasterxml.jackson.core.type.TypeReference;
 import consolefactory.exception.OptionException;
 import consolefactory.exception.ParseException;
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
@@ -38,19 +39,41 @@ public class ConsoleFactory {
   public void run(String input) {
     try {
       init();
-      if (input == null || input.isEmpty() || input.isBlank()) {
+      if ((input == null || input.isEmpty() || input.isBlank())
+          && !factoryConfig.hasAdditionalSources()) {
         throw new ParseException("Input is not provided");
       }
-      result = parser.parse(input);
-      if (!checkAndPrintHelpInfo(result) && function != null) {
-        function.run();
+      handle(parser.parse(input == null ? "" : input));
+    } catch (Exception e) {
+      System.out.println("Error: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Run with arguments already split by the shell, e.g. the ones of {@code main(String[] args)}.
+   *
+   * @param args - command line arguments.
+   */
+  public void run(String[] args) {
+    try {
+      init();
+      if ((args == null || args.length == 0) && !factoryConfig.hasAdditionalSources()) {
+        throw new ParseException("Input is not provided");
       }
-      result.clear();
+      handle(parser.parse(args == null ? new String[0] : args));
     } catch (Exception e) {
       System.out.println("Error: " + e.getMessage());
     }
   }
 
+  private void handle(LinkedHashMap<Option, Object> parsed) {
+    result = parsed;
+    if (!checkAndPrintHelpInfo(result) && function != null) {
+      function.run();
+    }
+    result.clear();
+  }
+
   public void addOption(Option option) throws OptionException {
     factoryConfig.addOption(option);
   }
@@ -120,6 +143,27 @@ public class ConsoleFactory {
     factoryConfig.addPrefix(prefix);
   }
 
+  /**
+   * Set a file to read options from, with the lowest precedence. It has the same format as an
+   * {@code @file} argument.
+   *
+   * @param optionsFile - path to the options file or null to not read it.
+   */
+  public void setOptionsFile(Path optionsFile) {
+    factoryConfig.setOptionsFile(optionsFile);
+  }
+
+  /**
+   * Set a prefix of environment variables to read options from. An option "math-operation" is
+   * read from the variable PREFIX_MATH_OPERATION. Environment variables override the options
+   * file and are overridden by the command line.
+   *
+   * @param environmentPrefix - prefix of variables (e.g. "APP_") or null to not read them.
+   */
+  public void setEnvironmentPrefix(String environmentPrefix) {
+    factoryConfig.setEnvironmentPrefix(environmentPrefix);
+  }
+
   private boolean checkAndPrintHelpInfo(LinkedHashMap<Option, Object> options) {
     if (options.keySet().stream().noneMatch(o -> o.getName().equals(HELP_OPTION_NAME))) {
       return false;
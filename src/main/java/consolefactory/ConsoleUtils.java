@@ -1,6 +1,7 @@
 package consolefactory;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import org.apache.commons.lang3.ClassUtils;
 
 public class ConsoleUtils {
@@ -21,6 +22,14 @@ public class ConsoleUtils {
     }
   }
 
+  protected static boolean isStringType(TypeReference<?> typeReference) {
+    return String.class.equals(typeReference.getType());
+  }
+
+  protected static Class<?> getRawClass(TypeReference<?> typeReference) {
+    return TypeFactory.rawClass(typeReference.getType());
+  }
+
   protected static Class<?> getClass(TypeReference<?> typeReference)
       throws ClassNotFoundException {
     return Class.forName(typeReference.getType().getTypeName());
@@ -2,9 +2,11 @@ package consolefactory;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import consolefactory.exception.OptionException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -20,7 +22,11 @@ public class FactoryConfig {
   private static FactoryConfig INSTANCE;
   private final Map<TypeReference<?>, Function<String, Object>> customParsers = new HashMap<>();
   private final List<Option> options = new ArrayList<>();
+  private final Map<Option, BoundsValidator> boundsValidators = new IdentityHashMap<>();
   private Set<String> prefixes = new HashSet<>();
+  private Path optionsFile;
+  private String environmentPrefix;
+  private Function<String, String> environment = System::getenv;
   private final static short MAX_PREFIX_LENGTH = 2;
   public static final String HELP_OPTION_NAME = "help";
   private final Set<Character> forbiddenCharsInPrefixes =
@@ -43,11 +49,20 @@ public class FactoryConfig {
 
   protected void addOption(Option option) throws OptionException {
     validateArgument(option);
+    final var boundsValidator = BoundsValidator.compile(option);
+    if (boundsValidator != null) {
+      boundsValidators.put(option, boundsValidator);
+    }
     options.add(option);
   }
 
   protected void clearOptions() {
     options.clear();
+    boundsValidators.clear();
+  }
+
+  protected BoundsValidator getBoundsValidator(Option option) {
+    return boundsValidators.get(option);
   }
 
   protected void addPrefix(String prefix) throws OptionException {
@@ -74,6 +89,14 @@ public class FactoryConfig {
     return customParsers.get(type);
   }
 
+  /**
+   * Check whether options may come from the options file or environment variables besides the
+   * command line.
+   */
+  protected boolean hasAdditionalSources() {
+    return optionsFile != null || environmentPrefix != null;
+  }
+
   protected Option getOptionByAlias(String alias) {
     if (alias == null || alias.isBlank()) {
       return null;
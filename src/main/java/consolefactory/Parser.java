@@ -1,11 +1,10 @@
 package consolefactory;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import consolefactory.exception.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.Locale;
 import java.util.Queue;
 import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
@@ -44,7 +43,22 @@ public class Parser {
     MAPPER.setDateFormat(new SimpleDateFormat(dateFormat));
   }
 
+  /**
+   * Deserialize a value of the option and check it against the option bounds.
+   *
+   * @param s      - a string value
+   * @param option - an option of the value.
+   */
   protected Object deserialize(String s, Option option) throws Exception {
+    final var value = convert(s, option);
+    final var boundsValidator = factoryConfig.getBoundsValidator(option);
+    if (boundsValidator != null && value != null) {
+      boundsValidator.validate(value);
+    }
+    return value;
+  }
+
+  private Object convert(String s, Option option) throws Exception {
     if (s == null) {
       throw new ParseException("Value can not be null for deserialization.");
     }
@@ -52,6 +66,9 @@ public class Parser {
     if (customParser != null) {
       return customParser.apply(s);
     }
+    if (ConsoleUtils.isStringType(option.getType())) {
+      return s;
+    }
     try {
       if (ConsoleUtils.isPrimitiveType(option.getType()) || ConsoleUtils.isEnum(option.getType())) {
         return MAPPER.convertValue(s, option.getType());
@@ -61,13 +78,80 @@ public class Parser {
     return MAPPER.readValue(s, option.getType());
   }
 
+  /**
+   * Parse a whole command line string. Argument boundaries are lost in the string, so arguments
+   * starting with {@code @} are taken literally and not expanded as argument files.
+   *
+   * @param input - options' string.
+   */
   protected LinkedHashMap<Option, Object> parse(String input) throws Exception {
-    final Queue<String> tokensQueue = Pattern.compile("\\S*\\S")
+    final var tokens = Pattern.compile("\\S*\\S")
         .matcher(input)
         .results()
         .map(MatchResult::group)
-        .collect(Collectors.toCollection(LinkedList::new));
+        .toArray(String[]::new);
+    return parse(new ArgsQueue(tokens, false), false);
+  }
+
+  /**
+   * Parse already split arguments, e.g. the ones passed to {@code main(String[] args)}. Every
+   * argument is treated as a whole token, so values quoted by the shell keep their spaces. An
+   * argument {@code @file} is expanded to the tokens of the file (see {@link ArgsQueue}).
+   *
+   * @param args - arguments as split by the shell.
+   */
+  protected LinkedHashMap<Option, Object> parse(String[] args) throws Exception {
+    return parse(new ArgsQueue(args), true);
+  }
 
+  /**
+   * Parse the tokens and merge them with options of the options file and environment variables.
+   * The command line has the highest precedence, then environment variables, then the options
+   * file. A help request is answered with the command line options only.
+   *
+   * @param tokensQueue - a queue of command line tokens
+   * @param preSplit    - whether tokens came already split (by the shell).
+   */
+  private LinkedHashMap<Option, Object> parse(Queue<String> tokensQueue, boolean preSplit)
+      throws Exception {
+    final var commandLine = tokensQueue.isEmpty()
+        ? new LinkedHashMap<Option, Object>() : parseTokens(tokensQueue, preSplit);
+    if (commandLine.keySet().stream()
+        .anyMatch(option -> option.getName().equals(FactoryConfig.HELP_OPTION_NAME))) {
+      return commandLine;
+    }
+    final var result = new LinkedHashMap<Option, Object>();
+    if (factoryConfig.getOptionsFile() != null) {
+      final var optionsFile = new ArgFile(factoryConfig.getOptionsFile());
+      if (!optionsFile.isEmpty()) {
+        result.putAll(parseTokens(optionsFile, true));
+      }
+    }
+    if (factoryConfig.getEnvironmentPrefix() != null) {
+      result.putAll(parseEnvironment(factoryConfig.getEnvironmentPrefix()));
+    }
+    result.putAll(commandLine);
+    validateMandatoryOptions(result);
+    return result;
+  }
+
+  private LinkedHashMap<Option, Object> parseEnvironment(String prefix) throws Exception {
+    final var result = new LinkedHashMap<Option, Object>();
+    for (final var option : factoryConfig.getOptions()) {
+      if (option.getName().equals(FactoryConfig.HELP_OPTION_NAME)) {
+        continue;
+      }
+      final var value = factoryConfig.getEnvironment().apply(
+          prefix + option.getName().toUpperCase(Locale.ROOT).replace('-', '_'));
+      if (value != null) {
+        result.put(option, deserialize(value, option));
+      }
+    }
+    return result;
+  }
+
+  private LinkedHashMap<Option, Object> parseTokens(Queue<String> tokensQueue, boolean preSplit)
+      throws Exception {
     if (factoryConfig.getOptions().stream()
         .noneMatch(option -> option.hasAlias(tokensQueue.peek()))) {
       throw new ParseException(
@@ -82,12 +166,10 @@ public class Parser {
         break;
       }
       validateUniqueOption(optionAndToken, result);
-      final var value = deserialize(parseValue(tokensQueue, optionAndToken),
+      final var value = deserialize(parseValue(tokensQueue, optionAndToken, preSplit),
           optionAndToken.getKey());
       result.put(optionAndToken.getKey(), value);
     }
-
-    validateMandatoryOptions(result);
     return result;
   }
 
@@ -138,8 +220,17 @@ public class Parser {
     return optionAndToken;
   }
 
-  private String parseValue(Queue<String> tokensQueue, Pair<Option, String> optionAndToken)
-      throws ParseException {
+  /**
+   * Parse a value of the option. A pre-split argument is a whole string value, tokens of a
+   * structured value are taken up to its matching closing symbol and, when pre-split, joined with
+   * a space.
+   *
+   * @param tokensQueue    - a queue of tokens
+   * @param optionAndToken - the option and the token it was parsed from.
+   * @param preSplit       - whether tokens came already split (by the shell).
+   */
+  private String parseValue(Queue<String> tokensQueue, Pair<Option, String> optionAndToken,
+      boolean preSplit) throws ParseException {
     if (optionAndToken == null || optionAndToken.getKey() == null) {
       throw new ParseException("Option can not be null");
     }
@@ -156,14 +247,17 @@ public class Parser {
     if (ConsoleUtils.isPrimitiveType(optionAndToken.getKey().getType())) {
       return token;
     }
-    if (optionAndToken.getKey().getType().equals(new TypeReference<String>() {
-    })) {
-      Option nextPossibleOption = null;
-      while (!tokensQueue.isEmpty() && nextPossibleOption == null) {
-        value.append(tokensQueue.poll());
-        nextPossibleOption = factoryConfig.getOptionByAlias(tokensQueue.peek());
+    final var isStringType = ConsoleUtils.isStringType(optionAndToken.getKey().getType());
+    if (preSplit && isStringType) {
+      return token;
+    }
+    if (isStringType) {
+      value.append(token);
+      while (!tokensQueue.isEmpty()
+          && factoryConfig.getOptionByAlias(tokensQueue.peek()) == null) {
+        value.append(' ').append(tokensQueue.poll());
       }
-      return value.toString();
+      return unquote(value.toString());
     }
 
     if (!isOpeningToken(token)) {
@@ -171,27 +265,76 @@ public class Parser {
           "A value for option " + optionAndToken.getKey().getName() + " must start of one of "
               + factoryConfig.getOpeningChars() + " symbols.");
     }
+    final var structure = new StructureTracker();
+    structure.feed(token);
     value.append(token);
-    while (!tokensQueue.isEmpty() || !isClosingToken(token)) {
+    while (!structure.isComplete()) {
+      if (tokensQueue.isEmpty()) {
+        throw new ParseException(
+            "A value for option " + optionAndToken.getKey().getName() + " is not closed.");
+      }
       token = tokensQueue.poll();
+      structure.feed(token);
+      if (preSplit) {
+        value.append(' ');
+      }
       value.append(token);
     }
     return value.toString();
   }
 
+  /**
+   * Tracks nesting of opening and closing symbols and double quoted strings (with backslash
+   * escapes) across tokens of a structured value, so the value ends at its matching closing symbol.
+   */
+  private class StructureTracker {
 
-  private boolean isOpeningToken(String token) {
-    if (token == null || token.isEmpty()) {
-      return false;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    private void feed(String token) {
+      for (int i = 0; i < token.length(); i++) {
+        final char c = token.charAt(i);
+        if (inString) {
+          if (escaped) {
+            escaped = false;
+          } else if (c == '\\') {
+            escaped = true;
+          } else if (c == '"') {
+            inString = false;
+          }
+        } else if (c == '"') {
+          inString = true;
+        } else if (factoryConfig.getOpeningChars().contains(c)) {
+          depth++;
+        } else if (factoryConfig.getClosingChars().contains(c)) {
+          depth--;
+        }
+      }
     }
-    return factoryConfig.getOpeningChars().contains(token.charAt(0));
+
+    private boolean isComplete() {
+      return depth <= 0 && !inString;
+    }
+  }
+
+  /**
+   * Strip one enclosing pair of double quotes, so a quoted string value is the same as when the
+   * shell has split it.
+   */
+  private String unquote(String value) {
+    if (value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+      return value.substring(1, value.length() - 1);
+    }
+    return value;
   }
 
-  private boolean isClosingToken(String token) {
+  private boolean isOpeningToken(String token) {
     if (token == null || token.isEmpty()) {
       return false;
     }
-    return factoryConfig.getClosingChars().contains(token.charAt(token.length() - 1));
+    return factoryConfig.getOpeningChars().contains(token.charAt(0));
   }
 
   /**
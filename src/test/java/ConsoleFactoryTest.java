@@ -1,22 +1,45 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import com.fasterxml.jackson.core.type.TypeReference;
 import consolefactory.ConsoleFactory;
 import consolefactory.Option;
 import consolefactory.exception.OptionException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class ConsoleFactoryTest {
 
   final static ConsoleFactory CONSOLE_FACTORY = new ConsoleFactory();
+  final static Map<String, Object> CAPTURED_RESULT = new LinkedHashMap<>();
 
   @BeforeAll
   static void setUp() throws OptionException {
     addOptionsToConfiguration();
   }
 
+  @BeforeEach
+  void clearCapturedResult() {
+    CAPTURED_RESULT.clear();
+  }
+
+  @AfterEach
+  void resetSources() {
+    CONSOLE_FACTORY.setOptionsFile(null);
+    CONSOLE_FACTORY.setEnvironmentPrefix(null);
+  }
+
   @Test
   void testHelp() {
     CONSOLE_FACTORY.run("--h");
@@ -40,6 +63,67 @@ public class ConsoleFactoryTest {
     CONSOLE_FACTORY.run("-l [\"qwer\",\"zxcv\",\"asdfg\"]");
   }
 
+  @Test
+  void testCalculatorArgs() {
+    CONSOLE_FACTORY.setFunction(ConsoleFactoryTest::captureResult);
+    CONSOLE_FACTORY.run(new String[]{"-a", "50", "--b", "100", "PLUS", "-v"});
+    assertEquals(50, CAPTURED_RESULT.get("a"));
+    assertEquals(100, CAPTURED_RESULT.get("b"));
+    assertEquals(MathOperation.PLUS, CAPTURED_RESULT.get("math-operation"));
+  }
+
+  @Test
+  void testQuotedArgs() {
+    CONSOLE_FACTORY.setFunction(ConsoleFactoryTest::captureResult);
+    CONSOLE_FACTORY.run(
+        new String[]{"-m", "hello quoted world", "-l", "[\"qw er\",", "\"zxcv\"]"});
+    assertEquals("hello quoted world", CAPTURED_RESULT.get("message"));
+    assertEquals(List.of("qw er", "zxcv"), CAPTURED_RESULT.get("list"));
+  }
+
+  @Test
+  void testArgFile(@TempDir Path dir) throws IOException {
+    final var argFile = Files.writeString(dir.resolve("options.txt"),
+        "# calculator\n-a 50\n--b 100\n-m 'hello from file'\n-l [\"qw er\", \"zxcv\"]\n");
+    CONSOLE_FACTORY.setFunction(ConsoleFactoryTest::captureResult);
+    CONSOLE_FACTORY.run(new String[]{"@" + argFile, "PLUS", "-v"});
+    assertEquals(50, CAPTURED_RESULT.get("a"));
+    assertEquals(100, CAPTURED_RESULT.get("b"));
+    assertEquals("hello from file", CAPTURED_RESULT.get("message"));
+    assertEquals(List.of("qw er", "zxcv"), CAPTURED_RESULT.get("list"));
+    assertEquals(MathOperation.PLUS, CAPTURED_RESULT.get("math-operation"));
+  }
+
+  @Test
+  void testOptionsFile(@TempDir Path dir) throws IOException {
+    final var optionsFile = Files.writeString(dir.resolve("options.txt"), "-a 50 --b 100");
+    CONSOLE_FACTORY.setFunction(ConsoleFactoryTest::captureResult);
+    CONSOLE_FACTORY.setOptionsFile(optionsFile);
+    CONSOLE_FACTORY.run(new String[]{"MINUS", "-b", "20", "-v"});
+    assertEquals(50, CAPTURED_RESULT.get("a"));
+    assertEquals(20, CAPTURED_RESULT.get("b"));
+    assertEquals(MathOperation.MINUS, CAPTURED_RESULT.get("math-operation"));
+  }
+
+  @Test
+  void testBounds() {
+    CONSOLE_FACTORY.setFunction(ConsoleFactoryTest::captureResult);
+    CONSOLE_FACTORY.run(new String[]{"-p", "50", "-l", "[\"qwer\"]"});
+    assertEquals(50, CAPTURED_RESULT.get("percent"));
+    assertEquals(List.of("qwer"), CAPTURED_RESULT.get("list"));
+
+    CAPTURED_RESULT.clear();
+    CONSOLE_FACTORY.run(new String[]{"-p", "150"});
+    assertTrue(CAPTURED_RESULT.isEmpty());
+    CONSOLE_FACTORY.run(new String[]{"-l", "[\"qwer\",\"zxcv\",\"asdfg\",\"tyui\"]"});
+    assertTrue(CAPTURED_RESULT.isEmpty());
+  }
+
+  private static void captureResult() {
+    CONSOLE_FACTORY.getResult()
+        .forEach((option, value) -> CAPTURED_RESULT.put(option.getName(), value));
+  }
+
   private static void printAll() {
     final var list = CONSOLE_FACTORY.getResult().entrySet().stream()
         .map(entry -> entry.getKey().getName() + ": " + entry.getValue())
@@ -124,11 +208,31 @@ public class ConsoleFactoryTest {
             })
             .build());
 
+    CONSOLE_FACTORY.addOption(
+        Option.builder()
+            .name("message")
+            .aliases(Set.of("-m"))
+            .helpInfo("string value")
+            .type(new TypeReference<String>() {
+            })
+            .build());
+
+    CONSOLE_FACTORY.addOption(
+        Option.builder()
+            .name("percent")
+            .aliases(Set.of("-p"))
+            .helpInfo("integer value from 0 to 100")
+            .bounds(new Object[]{0, 100})
+            .type(new TypeReference<Integer>() {
+            })
+            .build());
+
     CONSOLE_FACTORY.addOption(
         Option.builder()
             .name("list")
             .aliases(Set.of("-l"))
-            .helpInfo("list of strings")
+            .helpInfo("list of up to 3 strings")
+            .bounds(new Object[]{null, 3})
             .type(new TypeReference<List<String>>() {
             })
             .build());
@@ -0,0 +1,105 @@
+package consolefactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import consolefactory.exception.OptionException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OptionSourcesTest {
+
+  private final FactoryConfig factoryConfig = FactoryConfig.getInstance();
+  private final ConsoleFactory consoleFactory = new ConsoleFactory();
+  private final Map<String, String> environment = new HashMap<>();
+  private final Map<String, Integer> values = new HashMap<>();
+
+  @BeforeEach
+  void setUp() throws OptionException {
+    factoryConfig.clearOptions();
+    factoryConfig.setEnvironment(environment::get);
+    for (final var name : new String[]{"a", "b", "c", "max-value"}) {
+      consoleFactory.addOption(Option.builder()
+          .name(name)
+          .aliases(Set.of("-" + name))
+          .helpInfo("integer value")
+          .type(new TypeReference<Integer>() {
+          })
+          .build());
+    }
+    consoleFactory.setFunction(() -> {
+      for (final var name : new String[]{"a", "b", "c", "max-value"}) {
+        if (consoleFactory.getOptionsByName(name).isEmpty()) {
+          continue;
+        }
+        values.put(name, consoleFactory.getValueByOptionName(name, Integer.class));
+      }
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    factoryConfig.clearOptions();
+    factoryConfig.setOptionsFile(null);
+    factoryConfig.setEnvironmentPrefix(null);
+    factoryConfig.setEnvironment(System::getenv);
+  }
+
+  @Test
+  void testPrecedence(@TempDir Path dir) throws IOException {
+    consoleFactory.setOptionsFile(
+        Files.writeString(dir.resolve("options.txt"), "-a 1 -b 1 -c 1"));
+    consoleFactory.setEnvironmentPrefix("APP_");
+    environment.put("APP_B", "2");
+    environment.put("APP_C", "2");
+    environment.put("APP_MAX_VALUE", "2");
+    environment.put("B", "5");
+
+    consoleFactory.run(new String[]{"-c", "3"});
+
+    assertEquals(1, values.get("a"));
+    assertEquals(2, values.get("b"));
+    assertEquals(3, values.get("c"));
+    assertEquals(2, values.get("max-value"));
+  }
+
+  @Test
+  void testAdditionalSourcesWithoutCommandLine(@TempDir Path dir) throws IOException {
+    consoleFactory.setOptionsFile(Files.writeString(dir.resolve("options.txt"), "-a 1"));
+
+    consoleFactory.run("");
+    assertEquals(1, values.get("a"));
+    assertNull(values.get("b"));
+
+    values.clear();
+    consoleFactory.run(new String[0]);
+    assertEquals(1, values.get("a"));
+
+    values.clear();
+    consoleFactory.run((String) null);
+    assertEquals(1, values.get("a"));
+
+    values.clear();
+    consoleFactory.run((String[]) null);
+    assertEquals(1, values.get("a"));
+  }
+
+  @Test
+  void testNoInput() {
+    consoleFactory.setFunction(() -> values.put("called", 1));
+    consoleFactory.run((String) null);
+    consoleFactory.run((String[]) null);
+    consoleFactory.run(new String[0]);
+    assertTrue(values.isEmpty());
+  }
+}
@@ -0,0 +1,263 @@
+package consolefactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import consolefactory.exception.OptionException;
+import consolefactory.exception.ParseException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ParserTest {
+
+  private final FactoryConfig factoryConfig = FactoryConfig.getInstance();
+  private final Parser parser = Parser.getInstance();
+
+  @BeforeEach
+  void setUp() throws OptionException {
+    factoryConfig.clearOptions();
+    factoryConfig.addOption(Option.builder()
+        .name("json")
+        .aliases(Set.of("-j"))
+        .helpInfo("json object")
+        .type(new TypeReference<Map<String, Object>>() {
+        })
+        .build());
+    factoryConfig.addOption(Option.builder()
+        .name("list")
+        .aliases(Set.of("-l"))
+        .helpInfo("list of strings")
+        .type(new TypeReference<List<String>>() {
+        })
+        .build());
+    factoryConfig.addOption(Option.builder()
+        .name("message")
+        .aliases(Set.of("-m"))
+        .helpInfo("string value")
+        .type(new TypeReference<String>() {
+        })
+        .build());
+  }
+
+  @AfterEach
+  void tearDown() {
+    factoryConfig.clearOptions();
+  }
+
+  @Test
+  void testStructuredValueInString() throws Exception {
+    final var result = byName(parser.parse("-j {\"a\": \"b\" } -m text"));
+    assertEquals(Map.of("a", "b"), result.get("json"));
+    assertEquals("text", result.get("message"));
+  }
+
+  @Test
+  void testStructuredValueSplitIntoArgs() throws Exception {
+    final var result = byName(parser.parse(
+        new String[]{"-j", "{\"a\":", "\"x } y\"", "}", "-l", "[\"qw er\"]"}));
+    assertEquals(Map.of("a", "x } y"), result.get("json"));
+    assertEquals(List.of("qw er"), result.get("list"));
+  }
+
+  @Test
+  void testNestedStructuredValue() throws Exception {
+    final var result = byName(parser.parse(
+        new String[]{"-j", "{\"a\":", "[\"b\",", "\"c]\"],", "\"d\":", "{}}", "-m", "text"}));
+    assertEquals(Map.of("a", List.of("b", "c]"), "d", Map.of()), result.get("json"));
+    assertEquals("text", result.get("message"));
+  }
+
+  @Test
+  void testQuotedStringValueInString() throws Exception {
+    final var result = byName(parser.parse("-m \"a b\" -l [\"c\"]"));
+    assertEquals("a b", result.get("message"));
+    assertEquals(byName(parser.parse(new String[]{"-m", "a b", "-l", "[\"c\"]"})), result);
+  }
+
+  @Test
+  void testUnclosedStructuredValue() {
+    assertThrows(ParseException.class, () -> parser.parse(new String[]{"-l", "\""}));
+    assertThrows(ParseException.class, () -> parser.parse(new String[]{"-l", "[\"a\""}));
+  }
+
+  @Test
+  void testMultiLineJsonArgFile(@TempDir Path dir) throws Exception {
+    final var argFile = Files.writeString(dir.resolve("options.txt"),
+        "# payload\n-j {\n  \"name\": \"x\",\n  \"quote\": \"x \\\" y\",\n"
+            + "  \"items\": [ \"a b\", \"#c\" ]\n}\n-m it's\n");
+    final var result = byName(parser.parse(new String[]{"@" + argFile}));
+    assertEquals(Map.of("name", "x", "quote", "x \" y", "items", List.of("a b", "#c")),
+        result.get("json"));
+    assertEquals("it's", result.get("message"));
+  }
+
+  @Test
+  void testQuotedArgFileTokens(@TempDir Path dir) throws Exception {
+    final var argFile = Files.writeString(dir.resolve("options.txt"),
+        "-m \"say \\\"hi\\\"\" -l '[\"qw er\"]'");
+    final var result = byName(parser.parse(new String[]{"@" + argFile}));
+    assertEquals("say \"hi\"", result.get("message"));
+    assertEquals(List.of("qw er"), result.get("list"));
+  }
+
+  @Test
+  void testUnbalancedSymbolInArgFileStringValue(@TempDir Path dir) throws Exception {
+    final var argFile = Files.writeString(dir.resolve("options.txt"),
+        "-m smile:(\n# comment\n-l '[\"a b\"]'\n");
+    final var result = byName(parser.parse(new String[]{"@" + argFile}));
+    assertEquals("smile:(", result.get("message"));
+    assertEquals(List.of("a b"), result.get("list"));
+  }
+
+  @Test
+  void testArgFileOnlyExpandedInArgs() throws Exception {
+    assertEquals("@john", byName(parser.parse("-m @john")).get("message"));
+    assertEquals("@john", byName(parser.parse(new String[]{"-m", "@@john"})).get("message"));
+    final var exception = assertThrows(ParseException.class,
+        () -> parser.parse(new String[]{"-m", "@john"}));
+    assertEquals("Argument file not found: john", exception.getMessage());
+  }
+
+  @Test
+  void testUnclosedQuoteInArgFile(@TempDir Path dir) throws Exception {
+    final var argFile = Files.writeString(dir.resolve("options.txt"), "-j {\"a\": \"b }");
+    assertThrows(ParseException.class, () -> parser.parse(new String[]{"@" + argFile}));
+  }
+
+  @Test
+  void testIntegralBounds() throws Exception {
+    addOption("percent", Set.of("-p"), new TypeReference<Integer>() {
+    }, new Object[]{0, 100});
+    assertEquals(100, byName(parser.parse(new String[]{"-p", "100"})).get("percent"));
+    assertThrows(ParseException.class, () -> parser.parse(new String[]{"-p", "101"}));
+    assertThrows(ParseException.class, () -> parser.parse(new String[]{"-p", "-1"}));
+  }
+
+  @Test
+  void testFloatingPointBounds() throws Exception {
+    addOption("ratio", Set.of("-r"), new TypeReference<Double>() {
+    }, new Object[]{0.5, null});
+    assertEquals(0.5, byName(parser.parse(new String[]{"-r", "0.5"})).get("ratio"));
+    assertThrows(ParseException.class, () -> parser.parse(new String[]{"-r", "0.25"}));
+  }
+
+  @Test
+  void testFloatBounds() throws Exception {
+    addOption("fraction", Set.of("-f"), new TypeReference<Float>() {
+    }, new Object[]{0, 0.1});
+    assertEquals(0.1f, byName(parser.parse(new String[]{"-f", "0.1"})).get("fraction"));
+    assertThrows(ParseException.class, () -> parser.parse(new String[]{"-f", "0.11"}));
+  }
+
+  @Test
+  void testBigNumberBounds() throws Exception {
+    final var max = new BigInteger("10000000000000000000");
+    addOption("big", Set.of("-b"), new TypeReference<BigInteger>() {
+    }, new Object[]{null, max});
+    assertEquals(max,
+        byName(parser.parse(new String[]{"-b", "\"" + max + "\""})).get("big"));
+    assertThrows(ParseException.class,
+        () -> parser.parse(new String[]{"-b", "\"" + max.add(BigInteger.ONE) + "\""}));
+  }
+
+  @Test
+  void testDefaultValueBounds() throws Exception {
+    factoryConfig.addOption(Option.builder()
+        .name("number")
+        .aliases(Set.of("-n"))
+        .helpInfo("bounded value")
+        .defaultValue(5)
+        .type(new TypeReference<Integer>() {
+        })
+        .bounds(new Object[]{0, 10})
+        .build());
+    assertEquals(5, byName(parser.parse(new String[]{"-n", "-m", "text"})).get("number"));
+    assertThrows(OptionException.class, () -> factoryConfig.addOption(Option.builder()
+        .name("default")
+        .aliases(Set.of("-d"))
+        .helpInfo("bounded value")
+        .defaultValue(500)
+        .type(new TypeReference<Integer>() {
+        })
+        .bounds(new Object[]{0, 10})
+        .build()));
+  }
+
+  @Test
+  void testEnumBounds() throws Exception {
+    addOption("color", Set.of("RED", "GREEN", "BLUE"), new TypeReference<Color>() {
+    }, new Object[]{Color.RED, "GREEN"});
+    assertEquals(Color.GREEN, byName(parser.parse(new String[]{"GREEN"})).get("color"));
+    assertThrows(ParseException.class, () -> parser.parse(new String[]{"BLUE"}));
+  }
+
+  @Test
+  void testSizeBounds() throws Exception {
+    factoryConfig.clearOptions();
+    addOption("list", Set.of("-l"), new TypeReference<List<String>>() {
+    }, new Object[]{1, 2});
+    assertThrows(ParseException.class, () -> parser.parse(new String[]{"-l", "[]"}));
+    assertThrows(ParseException.class,
+        () -> parser.parse(new String[]{"-l", "[\"a\",", "\"b\",", "\"c\"]"}));
+  }
+
+  @Test
+  void testBoundsOfCustomParsedValue() throws Exception {
+    final var type = new TypeReference<Integer>() {
+    };
+    addOption("percent", Set.of("-p"), type, new Object[]{0, 100});
+    factoryConfig.addParser(type, s -> s);
+    try {
+      assertThrows(ParseException.class, () -> parser.parse(new String[]{"-p", "50"}));
+    } finally {
+      factoryConfig.getCustomParsers().remove(type);
+    }
+  }
+
+  @Test
+  void testInvalidBounds() {
+    assertThrows(OptionException.class, () -> addOption("percent", Set.of("-p"),
+        new TypeReference<Integer>() {
+        }, new Object[]{0.5, 10}));
+    assertThrows(OptionException.class, () -> addOption("ratio", Set.of("-r"),
+        new TypeReference<Double>() {
+        }, new Object[]{"0", "1"}));
+    assertThrows(OptionException.class, () -> addOption("color", Set.of("RED"),
+        new TypeReference<Color>() {
+        }, new Object[]{"PINK"}));
+    assertThrows(OptionException.class, () -> addOption("long", Set.of("-n"),
+        new TypeReference<Long>() {
+        }, new Object[]{BigInteger.ZERO, BigInteger.ONE.shiftLeft(64)}));
+  }
+
+  private void addOption(String name, Set<String> aliases, TypeReference<?> type,
+      Object[] bounds) throws OptionException {
+    factoryConfig.addOption(Option.builder()
+        .name(name)
+        .aliases(aliases)
+        .helpInfo("bounded value")
+        .type(type)
+        .bounds(bounds)
+        .build());
+  }
+
+  enum Color {
+    RED, GREEN, BLUE
+  }
+
+  private static Map<String, Object> byName(LinkedHashMap<Option, Object> result) {
+    return result.entrySet().stream()
+        .collect(Collectors.toMap(entry -> entry.getKey().getName(), Map.Entry::getValue));
+  }
+}